@@ -0,0 +1,140 @@
+package Breccia.XML.translator;
+
+import Breccia.parser.Cursor;
+import Breccia.parser.ParseError;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+
+/** A series of Breccian files for translation as a single document.  While the translator consumes
+  * one file, the text of the files that follow is read ahead on background threads, so hiding
+  * the latency of file input.  Parsing itself proceeds on the consuming thread, the parse states
+  * of the cursor being transient.
+  *
+  *     @param <C> The type of parser cursor.
+  *     @see BrecciaXCursor#sourceCorpus(BrecciaCorpus)
+  */
+public final class BrecciaCorpus<C extends Cursor> implements AutoCloseable {
+
+
+    /** @param files The files of the corpus, in order of translation.
+      *     @param cursor The parser cursor, which is sourced anew for each file.
+      *     @param sourcing The means of sourcing the cursor.
+      *     @param executor The executor of the background reads.
+      *     @param lookahead The maximum number of files to read ahead of the file being translated.
+      *     @throws IllegalArgumentException If `lookahead` is less than one.
+      */
+    public BrecciaCorpus( final List<Path> files, final C cursor,
+          final CursorSourcing<? super C> sourcing, final Executor executor, final int lookahead ) {
+        if( lookahead < 1 ) throw new IllegalArgumentException( "Lookahead less than one" );
+        this.files = files;
+        this.cursor = cursor;
+        this.sourcing = sourcing;
+        this.executor = executor;
+        texts = new ArrayDeque<>( lookahead );
+        while( texts.size() < lookahead && readAhead() ); }
+
+
+
+   // ━━━  A u t o   C l o s e a b l e  ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+
+    /** Abandons any file not yet translated.
+      */
+    public @Override void close() {
+        for( final CompletableFuture<String> text: texts ) text.cancel( /*mayInterruptIfRunning*/false );
+        texts.clear();
+        fileIndexNext = files.size(); }
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    private final C cursor;
+
+
+
+    private final Executor executor;
+
+
+
+    /** The file most recently sourced by `next`, or null if none.
+      */
+    Path file() { return file; }
+
+
+
+    private Path file;
+
+
+
+    /** Index in `files` of the next file to read ahead.
+      */
+    private int fileIndexNext;
+
+
+
+    private final List<Path> files;
+
+
+
+    /** Whether any file remains to be sourced.
+      */
+    boolean hasNext() { return !texts.isEmpty(); }
+
+
+
+    /** Sources the cursor with the text of the next file, having first awaited its reading,
+      * and begins reading ahead another.
+      *
+      *     @return The cursor, now at the initial parse state of the file.
+      *     @throws UncheckedIOException If the file could not be read.
+      */
+    Cursor next() throws ParseError {
+        final CompletableFuture<String> text = texts.remove();
+        file = files.get( fileIndexNext - texts.size() - 1 );
+        readAhead();
+        final String t;
+        try { t = text.join(); }
+        catch( final CompletionException x ) {
+            if( x.getCause() instanceof UncheckedIOException ) throw (UncheckedIOException)x.getCause();
+            throw x; }
+        sourcing.source( cursor, new StringReader( t ));
+        return cursor; }
+
+
+
+    /** Begins reading ahead the next file, if any remains.
+      *
+      *     @return True if a file remained, false otherwise.
+      */
+    private boolean readAhead() {
+        if( fileIndexNext >= files.size() ) return false;
+        final Path f = files.get( fileIndexNext++ );
+        texts.add( CompletableFuture.supplyAsync( () -> {
+            try { return Files.readString( f ); }
+            catch( final IOException x ) { throw new UncheckedIOException( x ); }}, executor ));
+        return true; }
+
+
+
+    private final CursorSourcing<? super C> sourcing;
+
+
+
+    /** The texts read or being read ahead, in order of `files`.
+      */
+    private final ArrayDeque<CompletableFuture<String>> texts; }
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
@@ -2,9 +2,11 @@ package Breccia.XML.translator;
 
 import Breccia.parser.*;
 import Java.IntArrayExtensor;
+import java.io.UncheckedIOException;
 import java.util.function.IntConsumer;
 import java.util.function.IntPredicate;
 import java.util.*;
+import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
 import javax.xml.stream.*;
@@ -49,8 +51,19 @@ import static Java.StringBuilding.clear;
   *     <li>`{@linkplain Breccia.parser.CommandPoint#modifiers() modifiers}`</li>
   *     <li>`{@linkplain Breccia.parser.FileLocant#qualifiers() qualifiers}`</li></ul>
   *
+  * <p>Any of these attributes may be omitted by {@linkplain #BrecciaXCursor(Set) constructing}
+  * the translator with a narrower profile of attributes.  Omitted attributes are never computed.</p>
+  *
+  * <p>In {@linkplain #sourceCorpus(BrecciaCorpus) corpus mode}, the translator emits a single document
+  * for a whole series of files.  Its document element is named `Corpus` and its children are the
+  * file-fractal elements of the files, each given a further attribute `file`, the value being
+  * the path of the file.</p>
+  *
   * <p>This translator emits no ignorable whitespace.</p>
   *
+  * <p>This translator implements the whole of `XMLStreamReader`, so that its output may be streamed
+  * directly to JAXP transformers and validators by way of a `javax.xml.transform.stax.StAXSource`.</p>
+  *
   *     @see <a href='http://reluk.ca/project/Breccia/'>Breccia Parser</a>
   *     @see Breccia.parser.Fractum
   *     @see Breccia.parser.Fractum.End
@@ -63,7 +76,90 @@ import static Java.StringBuilding.clear;
 public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XMLStreamReader {
 
 
-    public BrecciaXCursor() { halt(); }
+    /** Constructs a translator that gives each element the whole of its attributes.
+      *
+      *     @see #fullProfile
+      */
+    public BrecciaXCursor() { this( fullProfile ); }
+
+
+
+    /** Constructs a translator that gives each element only those of its attributes
+      * which are named in the given profile.
+      *
+      * <p>Where the profile omits `{@linkplain XAttribute#lineNumber lineNumber}`, the translator
+      * makes no request of the parser for line numbers, nor therefore for {@linkplain #getLocation()
+      * locations}, the line and column of which are both reported as unknown.</p>
+      *
+      *     @see #fullProfile
+      *     @see #minimalProfile
+      */
+    public BrecciaXCursor( final Set<XAttribute> profile ) { this( profile, null ); }
+
+
+
+    /** Constructs a translator that gives each element only those of its attributes
+      * which are named in the given profile, and interns its tag names and the values of its
+      * `modifiers` and `qualifiers` attributes.  Other attribute values, being positional
+      * and so seldom repeated, are not interned.
+      *
+      *     @param interner The interner of tag names, modifiers and qualifiers, which may be shared
+      *       among translators, or null to intern nothing.
+      *     @see #BrecciaXCursor(Set)
+      *     @see #getAttributeValueId(int)
+      *     @see #getLocalNameId()
+      */
+    public BrecciaXCursor( final Set<XAttribute> profile, final StringInterner interner ) {
+        this.interner = interner;
+        attributesCommandPoint = profiled( profile, xunc, lineNumber, typestamp, modifiers );
+        attributesFileLocant =   profiled( profile, xunc, qualifiers );
+        attributesFractum =      profiled( profile, xunc, lineNumber, typestamp ); // [LN]
+        attributesHead =         profiled( profile, xunc, xuncLineEnds );
+        attributesOther =        profiled( profile, xunc );
+        attributesCorpusFile = Arrays.copyOf( attributesFractum, attributesFractum.length + 1 );
+        attributesCorpusFile[attributesFractum.length] = file;
+        locationFromGranum = profile.contains(XAttribute.lineNumber) ? locationGranal : locationUnknown;
+        halt(); }
+
+
+
+    /** The profile of all attributes, namely those given by the default translator.
+      *
+      *     @see #BrecciaXCursor()
+      */
+    public static final Set<XAttribute> fullProfile = Collections.unmodifiableSet(
+      EnumSet.allOf( XAttribute.class ));
+
+
+
+    /** Returns the {@linkplain StringInterner#id(CharSequence) interned id} of the value
+      * of the given attribute, or -1 if its values are not interned.  Only the values
+      * of `modifiers` and `qualifiers` are interned.
+      *
+      *     @throws IllegalStateException If this translator has no interner.
+      */
+    public int getAttributeValueId( final int a ) {
+        if( interner == null ) throw new IllegalStateException( "No interner" );
+        return attributes[a].valueId(); }
+
+
+
+    /** Returns the {@linkplain StringInterner#id(CharSequence) interned id} of the local name
+      * of the present element.
+      *
+      *     @throws IllegalStateException If this translator has no interner,
+      *       or the translation state is neither `START_ELEMENT` nor `END_ELEMENT`.
+      */
+    public int getLocalNameId() {
+        if( interner == null ) throw new IllegalStateException( "No interner" );
+        return interner.id( getLocalName() ); }
+
+
+
+    /** The profile of the `xunc` attribute alone, which is the least costly to compute.
+      */
+    public static final Set<XAttribute> minimalProfile = Collections.unmodifiableSet(
+      EnumSet.of( XAttribute.xunc ));
 
 
 
@@ -105,7 +201,9 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
       *       is not an {@linkplain ParseState#isInitial() initial state}.
       */
     public void source( final Cursor source ) {
+        corpus = null;
         this.source = source;
+        clearStacks(); // Of any translation that halted.
         final ParseState initialParseState = source.state();
         if( !initialParseState.isInitial() ) {
             halt();
@@ -126,6 +224,25 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
+    /** Begins translating a corpus of Breccian files as a single document.  Sets the translation state
+      * to `{@linkplain #START_DOCUMENT START_DOCUMENT}`.  Empty files of the corpus are omitted from
+      * the translation.  Any failure to read a file halts the translation and is thrown
+      * from `{@linkplain #next() next}` as an `XMLStreamException`, its cause an `IOException`.
+      */
+    public void sourceCorpus( final BrecciaCorpus<?> corpus ) {
+        this.corpus = corpus;
+        source = null;
+        clearStacks(); // Of any translation that halted.
+        isCorpusEnded = false;
+        namespaceCount = 0;
+        eventType = START_DOCUMENT; /* This starts the document.  The first call to `next` will
+          start the document element, which for a corpus is named `Corpus`. */
+        location = locationUnknown;
+        translationProcess = corpus_traversal;
+        hasNext = true; }
+
+
+
    // ━━━  A u t o   C l o s e a b l e  ━━━  X M L   S t r e a m   R e a d e r  ━━━━━━━━━━━━━━━━━━━━━━━━━
 
 
@@ -146,7 +263,9 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    public @Override QName getAttributeName( int index ) { throw new UnsupportedOperationException(); }
+    public @Override QName getAttributeName( final int a ) {
+        final Attribute attribute = attributes[a];
+        return new QName( attribute.namespace, attribute.localName ); }
 
 
 
@@ -166,20 +285,35 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    public @Override String getAttributeValue( String namespace, String localName ) {
-        throw new UnsupportedOperationException(); }
+    public @Override String getAttributeValue( final String ns, final String name ) {
+        if( eventType != START_ELEMENT ) throw wrongEventType(); // As per contract.
+        if( ns != null && !ns.isEmpty() ) return null; // No attribute has a namespace.
+        for( final Attribute a: attributes ) if( a.localName.equals( name )) return a.value();
+        return null; } /* A search in constant time, no array of attributes being longer than four.
+          Only the attribute found is computed. */
 
 
 
-    public @Override String getCharacterEncodingScheme() { throw new UnsupportedOperationException(); }
+    public @Override String getCharacterEncodingScheme() { return null; } // No XML declaration emitted.
 
 
 
-    public @Override String getElementText() { throw new UnsupportedOperationException(); }
+    public @Override String getElementText() throws XMLStreamException {
+        if( eventType != START_ELEMENT ) {
+            throw new XMLStreamException( "Not on START_ELEMENT, cannot read the text", location ); }
+        final StringBuilder b = clear( stringBuilder );
+        for( ;; ) {
+            final int e = next();
+            if( e == END_ELEMENT ) break;
+            if( e == CHARACTERS ) b.append( granum.text() );
+            else if( e == START_ELEMENT ) {
+                throw new XMLStreamException( "Element text interrupted by a start tag", location ); }
+            else throw new XMLStreamException( "Unexpected event type " + e, location ); }
+        return b.toString(); }
 
 
 
-    public @Override String getEncoding() { throw new UnsupportedOperationException(); }
+    public @Override String getEncoding() { return null; } // The encoding of the source is unknown.
 
 
 
@@ -207,8 +341,7 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    public @Override NamespaceContext getNamespaceContext() {
-        throw new UnsupportedOperationException(); }
+    public @Override NamespaceContext getNamespaceContext() { return namespaceContext; }
 
 
 
@@ -227,7 +360,7 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    public @Override String getNamespaceURI() { return namespace; }
+    public @Override String getNamespaceURI() { return hasName() ? namespace : null; }
 
 
 
@@ -238,32 +371,62 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
         return namespace; }
 
 
-    public @Override String getNamespaceURI( String prefix ) {
-        throw new UnsupportedOperationException(); }
+    public @Override String getNamespaceURI( final String prefix ) {
+        if( prefix == null ) throw new IllegalArgumentException( "Null prefix" ); // As per contract.
+        return switch( prefix ) {
+            case XMLConstants.DEFAULT_NS_PREFIX -> isInDocumentElement() ? namespace : null;
+            case XMLConstants.XML_NS_PREFIX -> XMLConstants.XML_NS_URI;
+            case XMLConstants.XMLNS_ATTRIBUTE -> XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+            default -> null; }; }
 
 
 
-    public @Override String getPIData() { throw new UnsupportedOperationException(); }
+    public @Override String getPIData() { return null; } // No processing instruction is emitted.
 
 
 
-    public @Override String getPITarget() { throw new UnsupportedOperationException(); }
+    public @Override String getPITarget() { return null; } // No processing instruction is emitted.
 
 
 
-    public @Override String getPrefix() { throw new UnsupportedOperationException(); }
+    public @Override String getPrefix() {
+        return hasName() ? XMLConstants.DEFAULT_NS_PREFIX : null; } // No element is prefixed.
 
 
 
-    public @Override Object getProperty( String name) { throw new UnsupportedOperationException(); }
+    /** Answers the standard properties of `XMLInputFactory` with the values that describe
+      * this translator, and any other property with null.  The allocator is one by which
+      * `XMLInputFactory.createXMLEventReader` may layer an event reader over this translator.
+      */
+    public @Override Object getProperty( final String name ) {
+        if( name == null ) throw new IllegalArgumentException( "Null name" ); // As per contract.
+        return switch( name ) {
+            case XMLInputFactory.IS_NAMESPACE_AWARE -> Boolean.TRUE;
+            case XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES -> Boolean.TRUE; // None are emitted.
+            case XMLInputFactory.IS_COALESCING,
+                 XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+                 XMLInputFactory.IS_VALIDATING,
+                 XMLInputFactory.SUPPORT_DTD -> Boolean.FALSE;
+            case XMLInputFactory.ALLOCATOR -> new XEventAllocator();
+            default -> null; }; } // Including the reporter and resolver, of which neither is set.
 
 
 
-    public @Override String getText() { throw new UnsupportedOperationException(); }
+    public @Override String getText() {
+        if( eventType != CHARACTERS ) throw wrongEventType();
+        return granum.text().toString(); }
 
 
 
-    public @Override char[] getTextCharacters() { throw new UnsupportedOperationException(); }
+    /** {@inheritDoc}  The array is owned by this translator and overwritten on each call.
+      */
+    public @Override char[] getTextCharacters() {
+        final int length = getTextLength();
+        if( length > textBuffer.length ) {
+            textBuffer = new char[Math.max( length, textBuffer.length * 2 )];
+            isTextBufferOversized = true; }
+        getTextCharacters( 0, textBuffer, 0, length );
+        return textBuffer; }
 
 
 
@@ -277,10 +440,9 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
         final int tEnd = targetStart + length;
         if( targetStart < 0 || tEnd > target.length ) throw new IndexOutOfBoundsException( targetStart );
         for( int s = sourceStart, t = targetStart; t < tEnd; ++s, ++t ) target[t] = characters.charAt(s);
-        return length; } /* The abpve might be speeded if the character sequences of the source cursor
-          exposed (optionally) their backing buffer.  But then the more flexible and potentially faster
-          methods `getTextStart`, getTextLength` and `getTextCharacters` should be supported *instead*
-          of the present method. */
+        return length; } /* The above might be speeded if the character sequences of the source cursor
+          exposed (optionally) their backing buffer.  Then too `getTextCharacters()` and `getTextStart`
+          could expose that buffer directly, instead of copying from it. */
 
 
 
@@ -290,7 +452,9 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    public @Override int getTextStart() { throw new UnsupportedOperationException(); }
+    public @Override int getTextStart() {
+        if( eventType != CHARACTERS ) throw wrongEventType();
+        return 0; } // Always the start of the `textBuffer` returned by `getTextCharacters()`.
 
 
 
@@ -298,7 +462,7 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    public @Override boolean hasName() { throw new UnsupportedOperationException(); }
+    public @Override boolean hasName() { return eventType == START_ELEMENT || eventType == END_ELEMENT; }
 
 
 
@@ -306,21 +470,64 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    public @Override boolean hasText() { throw new UnsupportedOperationException(); }
+    public @Override boolean hasText() { return eventType == CHARACTERS; } // The only text emitted.
 
 
 
-    /** @throws XMLStreamException Always with a {@linkplain XMLStreamException#getCause() cause}
-      *   of type {@linkplain ParseError ParseError} against the Breccian source.
+    /** @throws XMLStreamException Always with a {@linkplain XMLStreamException#getCause() cause},
+      *   either of type {@linkplain ParseError ParseError} against the Breccian source,
+      *   or (translating a corpus) of type `IOException` on failure to read a file.
       */
     public @Override int next() throws XMLStreamException {
         if( !hasNext ) throw new java.util.NoSuchElementException();
         switch( translationProcess ) {
+            case corpus_traversal -> { /* Traversing the files of a corpus.  This process either:
+                  a) emits an opening `Corpus` tag to start the document; or
+                  b) switches to `interstate_traversal` to emit the start tag of a file fractum; or
+                  c) emits a closing `Corpus` tag once the files are exhausted; or
+                  d) ends the document. */
+                if( /*old*/eventType == START_DOCUMENT ) {
+                    eventType = START_ELEMENT;
+                    localNameStack.push( localName = "Corpus" );
+                    attributes = attributesNone;
+                    location = locationUnknown;
+                    namespaceCount = 1;
+                    break; }
+                namespaceCount = 0;
+                while( corpus.hasNext() ) {
+                    final Cursor file;
+                    try { file = corpus.next(); }
+                    catch( final ParseError x ) { throw halt( x ); }
+                    catch( final UncheckedIOException x ) { throw halt( x.getCause() ); }
+                    final ParseState initialParseState = file.state();
+                    if( !initialParseState.isInitial() ) {
+                        halt();
+                        throw new IllegalStateException( "Source in non-initial state" ); }
+                    if( initialParseState.isFinal() ) continue; // The file is empty, omit it.
+                    assert initialParseState instanceof FileFractum;
+                    source = file;
+                    translationProcess = interstate_traversal;
+                    eventType = START_DOCUMENT; /* Of the file, as it were, so directing the process
+                      to start the file fractum without first advancing the `source`. */
+                    return next(); }
+                location = locationUnknown;
+                if( isCorpusEnded ) { // Then already the document element has ended.
+                    eventType = END_DOCUMENT;
+                    hasNext = false;
+                    return eventType; }
+                eventType = END_ELEMENT;
+                localName = localNameStack.pop();
+                assert "Corpus".equals( localName ) && localNameStack.isEmpty();
+                isCorpusEnded = true;
+                namespaceCount = 1; }
             case interstate_traversal -> { /* Traversing the parse states of the Breccian source.
                    Normally each of the parse states reflects a fractal head.  After emitting its
                    start tag, the translation process typically switches to `head_encapsulation`. */
                 ParseState state = source.state();
                 if( state.isFinal() ) { // Then it remains to end the translated document.
+                    if( corpus != null ) { // Rather it remains to translate any further file.
+                        translationProcess = corpus_traversal;
+                        return next(); }
                     assert state instanceof FileFractum.End; /* The alternatives are `empty` and `error`,
                       both of which are impossible unless the `hasNext` of the guard above is wrong. */
                     eventType = END_DOCUMENT;
@@ -330,7 +537,7 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
                     return eventType; }
                 if( /*old*/eventType == START_DOCUMENT ) { // Then already `source` is at the next state.
                     assert state instanceof FileFractum;
-                    namespaceCount = 1; }
+                    if( corpus == null ) namespaceCount = 1; } // Else it was declared by `Corpus`.
                 else {
                     if( /*old*/state instanceof FileFractum ) namespaceCount/*at next state*/ = 0;
                     try { state = source.next(); } catch( final ParseError x ) { throw halt( x ); }}
@@ -340,10 +547,13 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
                     case fractalStart -> {
                         eventType = START_ELEMENT;
                         final Fractum fractum = source.asFractum();
-                        localNameStack.push( localName = fractum.tagName() );
+                        localNameStack.push( localName = interned( fractum.tagName() ));
+                        if( localNameStack.size() > stackCapacity ) isStackOversized = true;
                         granum = fractum;
                         location = locationFromGranum;
                         if( source.asCommandPoint() != null ) attributes = attributesCommandPoint;
+                        else if( corpus != null && fractum instanceof FileFractum ) {
+                            attributes = attributesCorpusFile; }
                         else attributes = attributesFractum;
 
                       // clean up, preparing for subsequent events
@@ -369,7 +579,7 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
                         if( state.isFinal() ) {
                             assert state instanceof FileFractum.End; /* End of document element.
                               The next call will end the document. */
-                            namespaceCount = 1; }
+                            if( corpus == null ) namespaceCount = 1; }
                         location = locationUnknown; }}}
             case head_encapsulation -> { /* Encapsulating a fractal head.  This process emits either:
                   a) an opening `Head` tag, then switches to `head_content_traversal'; or
@@ -403,7 +613,8 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
                 eventType = eventTypeNext;
                 if( eventType == START_ELEMENT ) {
                     final Granum component = components.get( componentIndex );
-                    localNameStack.push( localName = component.tagName() );
+                    localNameStack.push( localName = interned( component.tagName() ));
+                    if( localNameStack.size() > stackCapacity ) isStackOversized = true;
                     granum = component;
                     location = locationFromGranum;
                     if( component instanceof FileLocant ) attributes = attributesFileLocant;
@@ -460,37 +671,55 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    public @Override boolean isCharacters() { throw new UnsupportedOperationException(); }
+    public @Override boolean isCharacters() { return eventType == CHARACTERS; }
 
 
 
-    public @Override boolean isEndElement() { throw new UnsupportedOperationException(); }
+    public @Override boolean isEndElement() { return eventType == END_ELEMENT; }
 
 
 
-    public @Override boolean isStandalone() { throw new UnsupportedOperationException(); }
+    public @Override boolean isStandalone() { return false; } // No XML declaration is emitted.
 
 
 
-    public @Override boolean isStartElement() { throw new UnsupportedOperationException(); }
+    public @Override boolean isStartElement() { return eventType == START_ELEMENT; }
 
 
 
-    public @Override boolean isWhiteSpace() { throw new UnsupportedOperationException(); }
+    public @Override boolean isWhiteSpace() {
+        if( eventType != CHARACTERS ) return false;
+        final CharSequence characters = granum.text();
+        for( int c = characters.length() - 1; c >= 0; --c ) {
+            switch( characters.charAt( c )) {
+                case ' ', '\t', '\n', '\r' -> {}
+                default -> { return false; }}}
+        return true; }
 
 
 
-    public @Override int nextTag() {
-        throw new UnsupportedOperationException(); }
+    public @Override int nextTag() throws XMLStreamException {
+        int e = next();
+        while( e == CHARACTERS && isWhiteSpace() ) e = next();
+        if( e != START_ELEMENT && e != END_ELEMENT ) {
+            throw new XMLStreamException( "Expected a start or end tag, found event " + e, location ); }
+        return e; }
 
 
 
-    public @Override void require( int type, String namespace, String localName ) {
-        throw new UnsupportedOperationException(); }
+    public @Override void require( final int type, final String ns, final String name )
+          throws XMLStreamException {
+        if( type != eventType ) {
+            throw new XMLStreamException( "Expected event " + type + ", found " + eventType,
+              location ); }
+        if( ns != null && !ns.equals( getNamespaceURI() )) {
+            throw new XMLStreamException( "Expected namespace " + ns, location ); }
+        if( name != null && !(hasName() && name.equals( localName ))) {
+            throw new XMLStreamException( "Expected local name " + name, location ); }}
 
 
 
-    public @Override boolean standaloneSet() { throw new UnsupportedOperationException(); }
+    public @Override boolean standaloneSet() { return false; } // No XML declaration is emitted.
 
 
 
@@ -501,13 +730,24 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
+    private static final Attribute[] attributesNone = {};
+
+
+
+    private void clearStacks() {
+        componentsStack.clear();
+        componentIndexStack.length = 0;
+        localNameStack.clear(); }
+
+
+
     /** Index of a component within {@linkplain #components components}.
       */
     private int componentIndex;
 
 
 
-    private final IntArrayExtensor componentIndexStack = new IntArrayExtensor( new int[0x100] );
+    private IntArrayExtensor componentIndexStack = new IntArrayExtensor( new int[stackCapacity] );
 
 
 
@@ -515,7 +755,11 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    private final ArrayList<List<? extends Granum>> componentsStack = new ArrayList<>( 0x100 );
+    private BrecciaCorpus<?> corpus;
+
+
+
+    private ArrayList<List<? extends Granum>> componentsStack = new ArrayList<>( stackCapacity );
 
 
 
@@ -527,6 +771,11 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
+    private final Attribute file = new Attribute( "file" ) {
+        @Override String value() { return corpus.file().toString(); }};
+
+
+
     private Granum granum;
 
 
@@ -539,7 +788,7 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    private XMLStreamException halt( final ParseError x ) {
+    private XMLStreamException halt( final Exception x ) {
         halt();
         return new XMLStreamException( x ); }
 
@@ -549,7 +798,43 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    private final Attribute lineNumber = new Attribute( "lineNumber" ) {
+    /** @return The canonical instance of `s`, or a new string if there is no interner.
+      */
+    private String interned( final CharSequence s ) {
+        return interner == null ? s.toString() : interner.intern( s ); }
+
+
+
+    private final StringInterner interner; // Or null if there is none.
+
+
+
+    /** Whether the `Corpus` element has ended.  Used only in corpus mode.
+      */
+    private boolean isCorpusEnded;
+
+
+
+    /** Whether the event is of an element, or of content thereof.
+      */
+    private boolean isInDocumentElement() {
+        return eventType == START_ELEMENT || eventType == CHARACTERS || eventType == END_ELEMENT; }
+
+
+
+    /** Whether any stack has grown beyond its initial {@linkplain #stackCapacity capacity}.
+      */
+    private boolean isStackOversized;
+
+
+
+    /** Whether `textBuffer` has grown beyond its initial capacity.
+      */
+    private boolean isTextBufferOversized;
+
+
+
+    private final Attribute lineNumber = new Attribute( XAttribute.lineNumber ) {
         @Override String value() { return Integer.toString( granum.lineNumber() ); }};
 
 
@@ -558,7 +843,7 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    private final ArrayDeque<String> localNameStack = new ArrayDeque<>( 0x100 );
+    private ArrayDeque<String> localNameStack = new ArrayDeque<>( stackCapacity );
 
 
 
@@ -566,7 +851,13 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    private final Location locationFromGranum = new Location() {
+    /** Either `locationGranal` or (where line numbers are not wanted) `locationUnknown`.
+      */
+    private final Location locationFromGranum;
+
+
+
+    private final Location locationGranal = new Location() {
         public @Override int getCharacterOffset() { return -1; }
         public @Override int getColumnNumber()    { return granum.column(); }
         public @Override int getLineNumber()      { return granum.lineNumber(); }
@@ -584,8 +875,10 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    private final Attribute modifiers = new Attribute( "modifiers" ) {
-        @Override String value() { return spaceDelimited( source.asCommandPoint().modifiers() ); }};
+    private final Attribute modifiers = new Attribute( XAttribute.modifiers ) {
+        @Override String value() { return interned( joined() ); }
+        @Override int valueId() { return interner.id( joined() ); }
+        private CharSequence joined() { return spaceDelimited( source.asCommandPoint().modifiers() ); }};
 
 
 
@@ -593,12 +886,73 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
+    private final NamespaceContext namespaceContext = new NamespaceContext() {
+        public @Override String getNamespaceURI( final String prefix ) {
+            final String uri = BrecciaXCursor.this.getNamespaceURI( prefix );
+            return uri == null ? XMLConstants.NULL_NS_URI : uri; }
+        public @Override String getPrefix( final String uri ) {
+            if( uri == null ) throw new IllegalArgumentException( "Null namespace" ); // As per contract.
+            return switch( uri ) {
+                case XMLConstants.XML_NS_URI -> XMLConstants.XML_NS_PREFIX;
+                case XMLConstants.XMLNS_ATTRIBUTE_NS_URI -> XMLConstants.XMLNS_ATTRIBUTE;
+                case namespace -> isInDocumentElement() ? XMLConstants.DEFAULT_NS_PREFIX : null;
+                default -> null; }; }
+        public @Override Iterator<String> getPrefixes( final String uri ) {
+            final String prefix = getPrefix( uri );
+            return prefix == null ? Collections.emptyIterator()
+              : Collections.singleton(prefix).iterator(); }};
+
+
+
     private int namespaceCount;
 
 
 
-    private final Attribute qualifiers = new Attribute( "qualifiers" ) {
-        @Override String value() { return spaceDelimited( ((FileLocant)granum).qualifiers() ); }};
+    /** @return Those of the given attributes which are named in the given profile.
+      */
+    private static Attribute[] profiled( final Set<XAttribute> profile, final Attribute... attributes ) {
+        int count = 0;
+        for( final Attribute a: attributes ) if( profile.contains( a.name )) ++count;
+        if( count == attributes.length ) return attributes;
+        final Attribute[] profiled = new Attribute[count];
+        count = 0;
+        for( final Attribute a: attributes ) if( profile.contains( a.name )) profiled[count++] = a;
+        return profiled; }
+
+
+
+    private final Attribute qualifiers = new Attribute( XAttribute.qualifiers ) {
+        @Override String value() { return interned( joined() ); }
+        @Override int valueId() { return interner.id( joined() ); }
+        private CharSequence joined() { return spaceDelimited( ((FileLocant)granum).qualifiers() ); }};
+
+
+
+    /** Ends any translation in progress and lets go of its source, readying this translator
+      * for reuse.  Any stack that an unusually deep document has grown beyond its initial capacity
+      * is reallocated at that capacity, and likewise the string builder and text buffer.
+      *
+      *     @see TranslatorPool
+      */
+    void release() {
+        halt();
+        source = null;
+        corpus = null;
+        granum = null;
+        components = null;
+        attributes = null;
+        localName = null;
+        clearStacks();
+        if( isStackOversized ) {
+            componentIndexStack = new IntArrayExtensor( new int[stackCapacity] );
+            componentsStack = new ArrayList<>( stackCapacity );
+            localNameStack = new ArrayDeque<>( stackCapacity );
+            isStackOversized = false; }
+        if( stringBuilder.capacity() > stringBuilderCapacity ) {
+            stringBuilder = new StringBuilder( stringBuilderCapacity ); }
+        if( isTextBufferOversized ) {
+            textBuffer = new char[textBufferCapacity];
+            isTextBufferOversized = false; }}
 
 
 
@@ -606,9 +960,10 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    /* @paramImplied #stringBuilder
-     */
-    private final String spaceDelimited( final List<String> strings ) {
+    /** @return Either `stringBuilder` or (for an empty list) an empty string.
+      *     @paramImplied #stringBuilder
+      */
+    private final CharSequence spaceDelimited( final List<String> strings ) {
         final int sN = strings.size();
         if( sN == 0 ) return "";
         final StringBuilder b = clear( stringBuilder );
@@ -616,11 +971,31 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
             b.append( strings.get( s ));
             if( ++s == sN ) break;
             b.append( ' ' ); } // Separator.
-        return b.toString(); }
+        return b; }
 
 
 
-    private final StringBuilder stringBuilder = new StringBuilder( /*initial capacity*/0x300/*or 768*/ );
+    /** The initial capacity of each stack, which suffices for all but unusually deep documents.
+      */
+    private static final int stackCapacity = 0x100;
+
+
+
+    private StringBuilder stringBuilder = new StringBuilder( stringBuilderCapacity );
+
+
+
+    private static final int stringBuilderCapacity = 0x300; // Or 768.
+
+
+
+    /** The buffer returned by `getTextCharacters()`.
+      */
+    private char[] textBuffer = new char[textBufferCapacity];
+
+
+
+    private static final int textBufferCapacity = 0x100;
 
 
 
@@ -628,7 +1003,7 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    private final Attribute typestamp = new Attribute( "typestamp" ) {
+    private final Attribute typestamp = new Attribute( XAttribute.typestamp ) {
         @Override String value() { return Integer.toString( source.state().typestamp() ); }};
 
 
@@ -638,12 +1013,12 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-    private final Attribute xunc = new Attribute( "xunc" ) {
+    private final Attribute xunc = new Attribute( XAttribute.xunc ) {
         @Override String value() { return Integer.toString( granum.xunc() ); }};
 
 
 
-    private final Attribute xuncLineEnds = new Attribute( "xuncLineEnds" ) {
+    private final Attribute xuncLineEnds = new Attribute( XAttribute.xuncLineEnds ) {
         @Override String value() {
             final Fractum fractum = source.asFractum();
             final int iN = fractum.lineCount();
@@ -658,22 +1033,25 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
    // ┈┈┈  l a t e   d e c l a r a t i o n s  ┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈┈
+   //  Each set by the constructor to those of the attributes named in the profile.
 
 
-    private final Attribute[] attributesCommandPoint = { xunc, lineNumber, typestamp, modifiers };
+    private final Attribute[] attributesCommandPoint; // xunc, lineNumber, typestamp, modifiers
 
 
-    private final Attribute[] attributesFileLocant =  { xunc, qualifiers };
+    private final Attribute[] attributesCorpusFile; // Those of `attributesFractum`, plus `file`
 
 
-    private final Attribute[] attributesFractum =    { xunc, lineNumber, typestamp }; // [LN]
+    private final Attribute[] attributesFileLocant;  // xunc, qualifiers
 
 
-    private final Attribute[] attributesHead =      { xunc, xuncLineEnds }; /* Each proper
-          to the fractal head (as opposed to the whole fractum), or to all grana. */
+    private final Attribute[] attributesFractum;    // xunc, lineNumber, typestamp
+
 
+    private final Attribute[] attributesHead;      /* xunc, xuncLineEnds, each proper
+          to the fractal head (as opposed to the whole fractum), or to all grana. */
 
-    private final Attribute[] attributesOther =    { xunc };
+    private final Attribute[] attributesOther;    // xunc
 
 
 
@@ -683,7 +1061,17 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
     private static abstract class Attribute {
 
 
-        Attribute( String localName ) { this.localName = localName; }
+        Attribute( XAttribute name ) {
+            this.name = name;
+            localName = name.name(); }
+
+
+
+        /** Constructs an attribute outside of any profile.
+          */
+        Attribute( String localName ) {
+            name = null;
+            this.localName = localName; }
 
 
 
@@ -695,6 +1083,10 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
+        final XAttribute name; // Or null if the attribute is outside of any profile.
+
+
+
         final String namespace = null;
 
 
@@ -708,7 +1100,14 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
 
-        abstract String value(); }
+        abstract String value();
+
+
+
+        /** The interned id of the value, or -1 if the values of this attribute are not interned.
+          * Called only where the translator has an interner.
+          */
+        int valueId() { return -1; }}
 
 
 
@@ -716,6 +1115,7 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 
 
     static enum TranslationProcess { // Access is non-private only to allow a static `import` at top.
+        corpus_traversal,
         interstate_traversal,
         head_encapsulation,
         head_content_traversal }}
@@ -732,6 +1132,7 @@ public final class BrecciaXCursor implements AutoCloseable, XStreamConstants, XM
 //   LN · Line number attribution on the fractal element.  While the parser considers line numbers to be
 //        ‘adjunct state’, requests for which ‘may be slow’, here they are much wanted (in tandem with
 //        `xunc` and `xuncLineEnds`) to anchor the resolution of line numbers more generally.
+//        Consumers that have no such want may omit them by a narrower profile of attributes.
 
 
 
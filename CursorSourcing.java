@@ -0,0 +1,22 @@
+package Breccia.XML.translator;
+
+import Breccia.parser.Cursor;
+import Breccia.parser.ParseError;
+import java.io.Reader;
+
+
+/** A means of sourcing a parser cursor with Breccian text, such as a method reference
+  * to the `source(Reader)` method of a reusable cursor.
+  *
+  *     @param <C> The type of parser cursor.
+  */
+public @FunctionalInterface interface CursorSourcing<C extends Cursor> {
+
+
+    /** Begins parsing the given text, leaving `cursor` at its initial parse state.
+      */
+    public void source( C cursor, Reader text ) throws ParseError; }
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
@@ -0,0 +1,116 @@
+package Breccia.XML.translator;
+
+import Breccia.parser.Cursor;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+
+/** A benchmark of the heap retained by recordings of translations, comparing translators that share
+  * a {@linkplain StringInterner string interner} with translators that intern nothing.  A corpus
+  * of 10,000 small files is translated, and for each file is kept a recording of the tag names
+  * and attribute values of its translation.  Each case is measured in a fresh JVM, which reports
+  * the heap retained by its recordings.
+  *
+  * <p>Usage: `java Breccia.XML.translator.InternerHeapBenchmark [<files>] [<cursor class>]`,
+  * where the files are 10,000 by default, and the cursor class is that of
+  * `{@linkplain TranslationDaemon#main(String[]) TranslationDaemon.main}`.</p>
+  */
+public final class InternerHeapBenchmark {
+
+
+    private InternerHeapBenchmark() {}
+
+
+
+    public static void main( final String[] arguments ) throws Exception {
+        if( arguments.length > 0 && arguments[0].equals( onceOption )) { // Then this is a fresh JVM.
+            measure( Boolean.parseBoolean( arguments[1] ), Integer.parseInt( arguments[2] ),
+              arguments[3] );
+            return; }
+        if( arguments.length > 2 ) {
+            System.err.println( "Usage: java " + InternerHeapBenchmark.class.getName()
+              + " [<files>] [<cursor class>]" );
+            System.exit( 1 ); }
+        final String files = arguments.length > 0 ? arguments[0] : "10000";
+        final String cursorClass = arguments.length > 1 ? arguments[1]
+          : TranslationDaemon.defaultCursorClass;
+        final String java = ProcessHandle.current().info().command().orElse( "java" );
+        final String classPath = System.getProperty( "java.class.path" );
+        for( final String isInterning: new String[] { "false", "true" }) {
+            final int exitValue = new ProcessBuilder( java, "-cp", classPath,
+              InternerHeapBenchmark.class.getName(), onceOption, isInterning, files, cursorClass )
+              .inheritIO().start().waitFor();
+            if( exitValue != 0 ) {
+                System.err.println( "Exit value " + exitValue );
+                System.exit( 1 ); }}}
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    /** Translates a corpus of `files` small texts, keeping a recording of each, and reports
+      * the heap the recordings retain.
+      *
+      *     @param isInterning Whether the translator is to have a string interner.
+      */
+    private static void measure( final boolean isInterning, final int files, final String cursorClass )
+          throws Exception {
+        final TranslationDaemon.ReflectedCursor cursors =
+          new TranslationDaemon.ReflectedCursor( cursorClass );
+        final Cursor cursor = cursors.get();
+        final BrecciaXCursor translator = new BrecciaXCursor( BrecciaXCursor.fullProfile,
+          isInterning ? new StringInterner( 0x1_0000 ) : null );
+        final List<String[]> recordings = new ArrayList<>( files );
+        final List<String> recording = new ArrayList<>();
+        final long before = usedHeap();
+        for( int f = 0; f < files; ++f ) {
+            cursors.source( cursor, new StringReader( text( f )));
+            translator.source( cursor );
+            while( translator.hasNext() ) {
+                if( translator.next() != START_ELEMENT ) continue;
+                recording.add( translator.getLocalName() );
+                for( int a = 0, aN = translator.getAttributeCount(); a < aN; ++a ) {
+                    recording.add( translator.getAttributeValue( a )); }}
+            recordings.add( recording.toArray( new String[0] ));
+            recording.clear(); }
+        final long retained = usedHeap() - before;
+        System.out.printf( "%-12s  retained %,14d bytes   (%,d bytes per file, %d files)%n",
+          isInterning ? "interner" : "no interner", retained, retained / files, files );
+        Reference.reachabilityFence( recordings ); }
+
+
+
+    /** The option by which this benchmark invokes itself in a fresh JVM, to measure one case.
+      */
+    private static final String onceOption = "--once";
+
+
+
+    /** @return The text of the file of the given index, a few points and associative references
+      *   much like those of any other file of the corpus.
+      */
+    private static String text( final int f ) {
+        return "File " + f + "\n"
+          + "    - A point of the file\n"
+          + "        : see `^*point$` @ http://example.com/file_" + f + ".brec\n"
+          + "    + A task of the file\n"
+          + "        : re `task` join @ ../other.brec\n"
+          + "    - A further point\n"; }
+
+
+
+    /** @return The number of bytes of heap in use after collecting garbage.
+      */
+    private static long usedHeap() {
+        for( int g = 0; g < 3; ++g ) System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(); }}
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
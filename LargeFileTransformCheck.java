@@ -0,0 +1,102 @@
+package Breccia.XML.translator;
+
+import Breccia.parser.Cursor;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamResult;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+
+/** A check that the translator streams, translating a file far larger than the heap.  It generates
+  * a Breccian file of many megabytes, then runs an identity transform of its translation,
+  * through a `StAXSource` to a null `StreamResult`, in a fresh JVM of small maximum heap.
+  * The check fails if that JVM runs out of memory, or otherwise fails.
+  *
+  * <p>Usage: `java Breccia.XML.translator.LargeFileTransformCheck [<megabytes>] [<maximum heap>]
+  * [<cursor class>]`, where the file is 64 megabytes by default, the maximum heap (as for `-Xmx`)
+  * is `16m`, and the cursor class is that of
+  * `{@linkplain TranslationDaemon#main(String[]) TranslationDaemon.main}`.</p>
+  */
+public final class LargeFileTransformCheck {
+
+
+    private LargeFileTransformCheck() {}
+
+
+
+    public static void main( final String[] arguments ) throws Exception {
+        if( arguments.length > 0 && arguments[0].equals( onceOption )) { // Then this is the small JVM.
+            try { transformOnce( Path.of( arguments[1] ), arguments[2] ); }
+            catch( final OutOfMemoryError x ) {
+                System.err.println( "Out of memory: " + x.getMessage() );
+                System.exit( 1 ); }
+            return; }
+        if( arguments.length > 3 ) {
+            System.err.println( "Usage: java " + LargeFileTransformCheck.class.getName()
+              + " [<megabytes>] [<maximum heap>] [<cursor class>]" );
+            System.exit( 1 ); }
+        final long megabytes = arguments.length > 0 ? Long.parseLong( arguments[0] ) : 64;
+        final String heap = arguments.length > 1 ? arguments[1] : "16m";
+        final String cursorClass = arguments.length > 2 ? arguments[2]
+          : TranslationDaemon.defaultCursorClass;
+        final Path file = Files.createTempFile( "LargeFileTransformCheck", ".brec" );
+        final long start;
+        final int exitValue;
+        try {
+            generate( file, megabytes << 20 );
+            start = System.nanoTime();
+            exitValue = new ProcessBuilder( ProcessHandle.current().info().command().orElse( "java" ),
+              "-Xmx" + heap, "-cp", System.getProperty( "java.class.path" ),
+              LargeFileTransformCheck.class.getName(), onceOption, file.toString(), cursorClass )
+              .inheritIO().start().waitFor(); }
+        finally { Files.delete( file ); }
+        if( exitValue != 0 ) {
+            System.err.println( "Failed to transform " + megabytes + " MB under -Xmx" + heap
+              + ", exit value " + exitValue );
+            System.exit( 1 ); }
+        System.out.printf( "Transformed %d MB under -Xmx%s in %.3f s%n", megabytes, heap,
+          (System.nanoTime() - start) / 1e9 ); }
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    /** Writes to the given file a Breccian text of plain points, at least `size` bytes long.
+      */
+    private static void generate( final Path file, final long size ) throws IOException {
+        try( final Writer out = Files.newBufferedWriter( file, UTF_8 )) {
+            long length = 0;
+            for( int p = 0; length < size; ++p ) {
+                final String s = "- Point " + p + "\n    - A point subordinate to point " + p + "\n";
+                out.write( s );
+                length += s.length(); }}} // All ASCII, so one byte per character.
+
+
+
+    /** The option by which this check invokes itself in a JVM of small heap.
+      */
+    private static final String onceOption = "--once";
+
+
+
+    /** Transforms the translation of the given file, discarding the result.
+      */
+    private static void transformOnce( final Path file, final String cursorClass ) throws Exception {
+        final TranslationDaemon.ReflectedCursor cursors =
+          new TranslationDaemon.ReflectedCursor( cursorClass );
+        final Cursor cursor = cursors.get();
+        try( final Reader text = Files.newBufferedReader( file, UTF_8 )) {
+            cursors.source( cursor, text );
+            final BrecciaXCursor translator = new BrecciaXCursor();
+            translator.source( cursor );
+            TransformerFactory.newInstance().newTransformer().transform( new StAXSource( translator ),
+              new StreamResult( OutputStream.nullOutputStream() )); }}}
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
@@ -0,0 +1,101 @@
+package Breccia.XML.translator;
+
+import Breccia.parser.Cursor;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static Breccia.XML.translator.XAttribute.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+
+/** A benchmark of the cost of attributes, comparing translations of the same file under different
+  * {@linkplain BrecciaXCursor#BrecciaXCursor(Set) profiles}.  Three profiles are timed:
+  *
+  * <ol><li>`full`, the {@linkplain BrecciaXCursor#fullProfile full profile}.</li>
+  *     <li>`custom`, the full profile less `lineNumber` and `xuncLineEnds`, the two attributes
+  *         that are costly to compute.</li>
+  *     <li>`minimal`, the {@linkplain BrecciaXCursor#minimalProfile minimal profile}.</li></ol>
+  *
+  * <p>Each translation reads the value of every attribute of every element, as would a consumer
+  * that serializes the translation.</p>
+  *
+  * <p>Usage: `java Breccia.XML.translator.ProfileBenchmark <file> [<repetitions>]
+  * [<cursor class>]`, where the repetitions are 20 by default, and the cursor class
+  * is that of `{@linkplain TranslationDaemon#main(String[]) TranslationDaemon.main}`.</p>
+  */
+public final class ProfileBenchmark {
+
+
+    private ProfileBenchmark() {}
+
+
+
+    public static void main( final String[] arguments ) throws Exception {
+        if( arguments.length < 1 || arguments.length > 3 ) {
+            System.err.println( "Usage: java " + ProfileBenchmark.class.getName()
+              + " <file> [<repetitions>] [<cursor class>]" );
+            System.exit( 1 ); }
+        final String text = Files.readString( Path.of( arguments[0] ), UTF_8 );
+        final int repetitions = arguments.length > 1 ? Integer.parseInt( arguments[1] ) : 20;
+        final String cursorClass = arguments.length > 2 ? arguments[2]
+          : TranslationDaemon.defaultCursorClass;
+        final TranslationDaemon.ReflectedCursor cursors =
+          new TranslationDaemon.ReflectedCursor( cursorClass );
+        final Cursor cursor = cursors.get();
+        final String[] labels = { "full", "custom", "minimal" };
+        final List<Set<XAttribute>> profiles = List.of( BrecciaXCursor.fullProfile,
+          EnumSet.complementOf( EnumSet.of( lineNumber, xuncLineEnds )), BrecciaXCursor.minimalProfile );
+        final BrecciaXCursor[] translators = new BrecciaXCursor[profiles.size()];
+        for( int p = 0; p < translators.length; ++p ) {
+            translators[p] = new BrecciaXCursor( profiles.get( p ));
+            time( repetitions, translators[p], cursor, cursors, text ); } // Warming each translator.
+        for( int p = 0; p < translators.length; ++p ) {
+            report( labels[p], time( repetitions, translators[p], cursor, cursors, text )); }
+        System.out.println( "(Attribute characters read: " + sink + ")" ); }
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    private static void report( final String label, final long[] nanos ) {
+        Arrays.sort( nanos );
+        final double mean = Arrays.stream(nanos).average().orElse( 0 );
+        System.out.printf( "%-8s  median %9.3f ms   mean %9.3f ms   min %9.3f ms   (n = %d)%n", label,
+          nanos[nanos.length/2] / 1e6, mean / 1e6, nanos[0] / 1e6, nanos.length ); }
+
+
+
+    /** A total of the lengths of the attribute values read, which keeps the reads from being
+      * optimized away.
+      */
+    private static long sink;
+
+
+
+    /** @return The time in nanoseconds of each repetition of a translation of `text`.
+      */
+    private static long[] time( final int repetitions, final BrecciaXCursor translator,
+          final Cursor cursor, final CursorSourcing<Cursor> sourcing, final String text )
+          throws Exception {
+        final long[] nanos = new long[repetitions];
+        for( int r = 0; r < repetitions; ++r ) {
+            final long start = System.nanoTime();
+            sourcing.source( cursor, new StringReader( text ));
+            translator.source( cursor );
+            while( translator.hasNext() ) {
+                if( translator.next() != START_ELEMENT ) continue;
+                for( int a = 0, aN = translator.getAttributeCount(); a < aN; ++a ) {
+                    sink += translator.getAttributeValue( a ).length(); }}
+            nanos[r] = System.nanoTime() - start; }
+        return nanos; }}
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
@@ -0,0 +1,119 @@
+package Breccia.XML.translator;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/** A bounded, concurrent table of canonical strings, which may be shared among translators
+  * in order that repeated strings of their output (tag names, modifiers and qualifiers) are held
+  * in memory only once.  Each string of the table is identified by a small integer id,
+  * its index in the table.
+  *
+  * <p>The table is open addressed with a short probe sequence, and never grows.  When every slot
+  * of a probe sequence is occupied, the interning of a further string evicts the string of its
+  * home slot, so reassigning the id of that slot.  An id therefore denotes its string only till
+  * that string is evicted.  Consumers that keep ids should size the table generously relative to
+  * the vocabulary to be interned, whereby evictions will be rare.</p>
+  *
+  * <p>Lookups and insertions are lock free, so neither blocks a thread nor pins a virtual thread.</p>
+  *
+  *     @see BrecciaXCursor#BrecciaXCursor(java.util.Set, StringInterner)
+  */
+public final class StringInterner {
+
+
+    /** @param capacity The minimum number of slots.  The actual number is the least power of two
+      *       that is not smaller.
+      *     @throws IllegalArgumentException If `capacity` is less than one or greater than 2^30.
+      */
+    public StringInterner( final int capacity ) {
+        if( capacity < 1 || capacity > 1 << 30 ) {
+            throw new IllegalArgumentException( "Capacity out of range" ); }
+        final int length = Integer.highestOneBit( capacity - 1 ) << 1;
+        table = new AtomicReferenceArray<>( length == 0 ? 1 : length );
+        mask = table.length() - 1; }
+
+
+
+    /** The number of slots in the table, and so the upper bound (exclusive) of the ids.
+      */
+    public int capacity() { return table.length(); }
+
+
+
+    /** Interns the given character sequence and returns its id.
+      *
+      *     @see #string(int)
+      */
+    public int id( final CharSequence s ) { return slot( s, hash( s )); }
+
+
+
+    /** Returns the canonical instance of the given character sequence, interning it if necessary.
+      * Where `s` is already canonical, no allocation occurs.
+      */
+    public String intern( final CharSequence s ) {
+        final int hash = hash( s );
+        for( ;; ) {
+            final String t = table.get( slot( s, hash ));
+            if( t != null && t.contentEquals( s )) return t; }} // Else it was evicted meantime, retry.
+
+
+
+    /** Returns the string that the given id presently denotes, or null if there is none.
+      *
+      *     @throws IndexOutOfBoundsException If `id` is not between zero (inclusive)
+      *       and `{@linkplain #capacity() capacity}` (exclusive).
+      */
+    public String string( final int id ) { return table.get( id ); }
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    /** The hash of `s`, equal to `s.toString().hashCode()`, but computed without allocation.
+      */
+    private static int hash( final CharSequence s ) {
+        if( s instanceof String ) return s.hashCode(); // Cached by the string.
+        int h = 0;
+        for( int c = 0, cN = s.length(); c < cN; ++c ) h = 31 * h + s.charAt( c );
+        return h; }
+
+
+
+    private final int mask;
+
+
+
+    /** The length of each probe sequence.
+      */
+    private static final int probeLength = 4;
+
+
+
+    /** Finds the slot of the given character sequence, first inserting it if necessary.
+      *
+      *     @param hash The hash of `s`.
+      *     @return The index of the slot.
+      */
+    private int slot( final CharSequence s, final int hash ) {
+        final int home = (hash ^ (hash >>> 16)) & mask;
+        for( ;; ) {
+            for( int p = 0; p < probeLength; ++p ) {
+                final int i = (home + p) & mask;
+                final String t = table.get( i );
+                if( t == null ) {
+                    if( table.compareAndSet( i, null, s.toString() )) return i;
+                    --p; } // Lost the race for the slot, read it again.
+                else if( t.contentEquals( s )) return i; }
+            // The probe sequence is full, evict the string of the home slot:
+            final String t = table.get( home );
+            if( table.compareAndSet( home, t, s.toString() )) return home; }}
+
+
+
+    private final AtomicReferenceArray<String> table; }
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
@@ -0,0 +1,74 @@
+package Breccia.XML.translator;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+
+/** A client of a translation daemon.
+  *
+  *     @see TranslationDaemon
+  */
+public final class TranslationClient {
+
+
+    /** @param socketFile The file of the daemon’s socket.
+      */
+    public TranslationClient( final Path socketFile ) {
+        address = UnixDomainSocketAddress.of( socketFile ); }
+
+
+
+    /** Translates Breccia from the standard input stream to X-Breccia on the standard output stream,
+      * by way of a translation daemon.
+      *
+      *     @param arguments The path of the daemon’s socket file.
+      */
+    public static void main( final String[] arguments ) {
+        if( arguments.length != 1 ) {
+            System.err.println( "Usage: java Breccia.XML.translator.TranslationClient <socket file>" );
+            System.exit( 1 ); }
+        try { new TranslationClient( Path.of( arguments[0] )).translate( System.in, System.out ); }
+        catch( final IOException x ) {
+            System.err.println( x.getMessage() );
+            System.exit( 1 ); }
+        System.out.flush(); }
+
+
+
+    /** Sends the given Breccian text for translation, and writes the resulting X-Breccia to `xml`.
+      *
+      *     @param text The Breccian text in UTF-8.
+      *     @param xml The sink for the X-Breccia, which will be written in UTF-8.
+      *     @throws IOException If the daemon cannot be reached, or it replies with a failure,
+      *       the message of which is then given by the exception.
+      */
+    public void translate( final InputStream text, final OutputStream xml ) throws IOException {
+        try( final SocketChannel channel = SocketChannel.open( StandardProtocolFamily.UNIX )) {
+            channel.connect( address );
+            text.transferTo( Channels.newOutputStream( channel ));
+            channel.shutdownOutput();
+            final DataInputStream in = new DataInputStream( new BufferedInputStream(
+              Channels.newInputStream( channel )));
+            byte[] frame = new byte[0x2000];
+            for( ;; ) {
+                final int n = in.readInt();
+                if( n == 0 ) break; // End of a successful reply.
+                if( n < 0 ) throw new IOException( in.readUTF() ); // End of a failed reply.
+                if( n > frame.length ) frame = new byte[n];
+                in.readFully( frame, 0, n );
+                xml.write( frame, 0, n ); }}}
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    private final UnixDomainSocketAddress address; }
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
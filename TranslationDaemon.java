@@ -0,0 +1,526 @@
+package Breccia.XML.translator;
+
+import Breccia.parser.Cursor;
+import Breccia.parser.ParseError;
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.net.ProtocolException;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import javax.xml.stream.*;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.xml.stream.XMLStreamConstants.*;
+
+
+/** A long-running, local server of translation over a Unix domain socket.  Serving each request
+  * with a warm translator from a pool, it spares its clients the startup of a fresh JVM and
+  * the compilation anew of the translator’s code.
+  *
+  * <p>The protocol is as follows.  The client connects, writes the Breccian text to translate
+  * in UTF-8, then shuts down its output.  The daemon replies with the X-Breccia in UTF-8,
+  * streamed as a series of frames.  Each frame is a 4-byte, big-endian length <var>n</var>
+  * followed by <var>n</var> bytes of X-Breccia.  A frame of length zero ends a successful reply.
+  * A frame of length −1 instead ends a failed reply, being followed by an error message
+  * in the format of `{@linkplain DataOutput#writeUTF(String) writeUTF}`.</p>
+  *
+  * <p>The daemon serves at most `pool.{@linkplain TranslatorPool#capacity capacity}` requests
+  * at once, and queues at most `backlog` more.  Requests beyond these are refused
+  * with a failed reply.  So too is any request longer than 16 MiB, or one that the client
+  * fails to finish writing within ten seconds, lest it hold a server thread indefinitely.
+  * For the same reason, a reply is abandoned if the client leaves it unread for ten seconds.</p>
+  *
+  *     @param <C> The type of parser cursor.
+  *     @see TranslationClient
+  *     @see TranslationDaemonBenchmark
+  */
+public final class TranslationDaemon<C extends Cursor> implements AutoCloseable {
+
+
+    /** @param socketFile The file of the socket, which must not yet exist.
+      *     @param pool The pool of translators.
+      *     @param sourcing The means of sourcing the parser cursors of the pool.
+      *     @param backlog The maximum number of requests to queue while all translators are in use.
+      *     @throws IllegalArgumentException If `backlog` is less than one.
+      */
+    public TranslationDaemon( final Path socketFile, final TranslatorPool<C> pool,
+          final CursorSourcing<? super C> sourcing, final int backlog ) {
+        if( backlog < 1 ) throw new IllegalArgumentException( "Backlog less than one" );
+        this.socketFile = socketFile;
+        this.pool = pool;
+        this.sourcing = sourcing;
+        servers = new ThreadPoolExecutor( pool.capacity, pool.capacity, 0L, TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>( backlog ));
+        acceptor = new Thread( this::accept, "Translation daemon acceptor" ); }
+
+
+
+    /** Starts a daemon that serves till the JVM shuts down, as on an interrupt or termination signal,
+      * whereupon the daemon too shuts down gracefully.
+      *
+      *     @param arguments The path of the socket file, optionally followed by the name of the class
+      *       of parser cursor, by default `{@value #defaultCursorClass}`.  The class must have a public,
+      *       no-argument constructor and a public method `source(Reader)`.
+      */
+    public static void main( final String[] arguments )
+          throws IOException, ReflectiveOperationException {
+        if( arguments.length < 1 || arguments.length > 2 ) {
+            System.err.println( "Usage: java Breccia.XML.translator.TranslationDaemon <socket file>"
+              + " [<cursor class>]" );
+            System.exit( 1 ); }
+        final ReflectedCursor cursors = new ReflectedCursor(
+          arguments.length > 1 ? arguments[1] : defaultCursorClass );
+        final int capacity = Runtime.getRuntime().availableProcessors();
+        final TranslationDaemon<Cursor> daemon = new TranslationDaemon<>( Path.of( arguments[0] ),
+          new TranslatorPool<>( capacity, cursors ), cursors, /*backlog*/capacity * 4 );
+        daemon.start(); // The acceptor thread keeping the JVM alive, till the following:
+        Runtime.getRuntime().addShutdownHook( new Thread( () -> {
+            try { daemon.close(); }
+            catch( final IOException x ) {
+                logger.log( WARNING, "Failed to close the daemon", x ); }})); }
+
+
+
+    /** Binds the socket and begins serving requests.
+      *
+      *     @throws IOException If the socket cannot be bound, as when its file already exists.
+      */
+    public void start() throws IOException {
+        listener = ServerSocketChannel.open( StandardProtocolFamily.UNIX );
+        try { listener.bind( UnixDomainSocketAddress.of( socketFile )); }
+        catch( final IOException x ) {
+            listener.close();
+            listener = null; // Lest `close` delete a socket file owned by another.
+            throw x; }
+        acceptor.start(); }
+
+
+
+   // ━━━  A u t o   C l o s e a b l e  ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+
+    /** Shuts down gracefully.  Stops accepting requests, waits a short while for those accepted to be
+      * served, then abandons any that remain and deletes the socket file.
+      */
+    public @Override void close() throws IOException {
+        servers.shutdown();
+        if( listener == null ) return; // Never bound, so the socket file is not ours to delete.
+        listener.close(); // Ending the acceptor thread.
+        try {
+            if( !servers.awaitTermination( gracePeriodSeconds, TimeUnit.SECONDS )) servers.shutdownNow();
+            acceptor.join(); }
+        catch( final InterruptedException x ) {
+            servers.shutdownNow();
+            Thread.currentThread().interrupt(); }
+        Files.deleteIfExists( socketFile ); }
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    private void accept() {
+        long backoff = 0; // Milliseconds to wait after a failure to accept, or zero.
+        for( ;; ) {
+            final SocketChannel channel;
+            try {
+                channel = listener.accept();
+                backoff = 0; }
+            catch( final ClosedChannelException x ) { break; } // The daemon is closing.
+            catch( final IOException x ) { // Such as too many open files, which may persist.
+                backoff = backoff == 0 ? backoffMinimum : Math.min( backoff * 2, backoffMaximum );
+                logger.log( WARNING, "Failed to accept a connection, retrying in " + backoff + " ms",
+                  x );
+                try { Thread.sleep( backoff ); }
+                catch( final InterruptedException xx ) { break; }
+                continue; }
+            try { servers.execute( () -> serve( channel )); }
+            catch( final RejectedExecutionException x ) { // Too busy, or closing.
+                try( channel; final Selector selector = Selector.open() ) {
+                    channel.configureBlocking( false ); // Lest a client that never reads block here.
+                    replyFailure( replyStream(channel,selector), "Translation daemon too busy" ); }
+                catch( final IOException xx ) {}}}} // The client will see a truncated reply.
+
+
+
+    private final Thread acceptor;
+
+
+
+    /** Waits till the channel is ready for any of the given operations, or the given time elapses.
+      *
+      *     @param ops The operations, as for `{@linkplain SelectionKey#interestOps(int) interestOps}`.
+      *     @param nanos The maximum time to wait in nanoseconds.
+      *     @throws InterruptedIOException If the thread is interrupted, as when the daemon
+      *       is closing forcefully.
+      */
+    private static void await( final SocketChannel channel, final Selector selector, final int ops,
+          final long nanos ) throws IOException {
+        channel.register( selector, ops );
+        selector.select( Math.max( TimeUnit.NANOSECONDS.toMillis(nanos), 1L ));
+        selector.selectedKeys().clear();
+        if( Thread.currentThread().isInterrupted() ) { // Else `select` would return at once, ever after.
+            throw new InterruptedIOException( "Translation daemon closing" ); }}
+
+
+
+    /** The maximum wait in milliseconds after a failure to accept a connection.
+      */
+    private static final long backoffMaximum = 1_000;
+
+
+
+    /** The wait in milliseconds after a first failure to accept a connection, which is doubled
+      * on each further failure till a connection is accepted.
+      */
+    private static final long backoffMinimum = 10;
+
+
+
+    /** The class of parser cursor for the `main` launcher, by default.
+      */
+    static final String defaultCursorClass = "Breccia.parser.plain.BrecciaCursor";
+
+
+
+    /** The size of a reply frame.
+      */
+    private static final int frameSize = 0x2000; // Or 8192.
+
+
+
+    /** The time to wait on closing for the requests already accepted to be served.
+      */
+    private static final long gracePeriodSeconds = 10;
+
+
+
+    private ServerSocketChannel listener; // Or null if the socket is not bound.
+
+
+
+    private static final System.Logger logger = System.getLogger( TranslationDaemon.class.getName() );
+
+
+
+    private final XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
+
+
+
+    private final TranslatorPool<C> pool;
+
+
+
+    /** Reads the whole of a request, waiting no longer than `requestTimeLimit`.
+      *
+      *     @param channel A channel in non-blocking mode.
+      *     @param selector A selector for the use of this method alone.
+      *     @return The Breccian text of the request.
+      *     @throws ProtocolException If the request exceeds `requestSizeLimit`,
+      *       or the client fails to end it within `requestTimeLimit`.
+      */
+    private static String readRequest( final SocketChannel channel, final Selector selector )
+          throws IOException {
+        final ByteArrayOutputStream text = new ByteArrayOutputStream();
+        final ByteBuffer buffer = ByteBuffer.allocate( frameSize );
+        final long deadline = System.nanoTime() + requestTimeLimit;
+        for( ;; ) {
+            final int n = channel.read( buffer );
+            if( n < 0 ) break; // The client has ended the request.
+            if( n > 0 ) {
+                if( text.size() + n > requestSizeLimit ) {
+                    throw new ProtocolException( "Request exceeds " + requestSizeLimit + " bytes" ); }
+                text.write( buffer.array(), 0, n );
+                buffer.clear();
+                continue; }
+            final long remaining = deadline - System.nanoTime();
+            if( remaining <= 0 ) throw new ProtocolException( "Request not ended in time" );
+            await( channel, selector, SelectionKey.OP_READ, remaining ); }
+        return text.toString( UTF_8 ); }
+
+
+
+    private static void replyFailure( final DataOutputStream out, final String message )
+          throws IOException {
+        out.writeInt( -1 );
+        out.writeUTF( message );
+        out.flush(); }
+
+
+
+    /** @param channel A channel in non-blocking mode.
+      *     @param selector A selector for the use of the reply stream alone.
+      */
+    private static DataOutputStream replyStream( final SocketChannel channel,
+          final Selector selector ) {
+        return new DataOutputStream( new BufferedOutputStream(
+          new ReplyOutputStream( channel, selector ), /*buffer size*/frameSize + Integer.BYTES )); }
+
+
+
+    /** The maximum time in nanoseconds for which a client may leave the reply unread, once the socket
+      * can take no more of it.
+      */
+    private static final long replyStallLimit = TimeUnit.SECONDS.toNanos( 10 );
+
+
+
+    /** The maximum length of a request in bytes.
+      */
+    private static final int requestSizeLimit = 0x100_0000; // Or 16 MiB.
+
+
+
+    /** The maximum time in nanoseconds for a client to write the whole of its request.
+      */
+    private static final long requestTimeLimit = TimeUnit.SECONDS.toNanos( 10 );
+
+
+
+    private void serve( final SocketChannel channel ) {
+        try( channel; final Selector selector = Selector.open() ) {
+            channel.configureBlocking( false ); // So reading and writing under time limits.
+            final DataOutputStream out = replyStream( channel, selector );
+            final String text;
+            try { text = readRequest( channel, selector ); } // Read in whole before replying,
+            catch( final ProtocolException x ) {  // lest both ends block on writing.
+                replyFailure( out, x.getMessage() );
+                return; }
+            try( final TranslatorPool<C>.Lease lease = pool.lease() ) {
+                sourcing.source( lease.cursor, new StringReader( text ));
+                final BrecciaXCursor translator = lease.translator;
+                translator.source( lease.cursor );
+                final FrameOutputStream frames = new FrameOutputStream( out );
+                final XMLStreamWriter writer = outputFactory.createXMLStreamWriter( frames, "UTF-8" );
+                write( translator, writer );
+                writer.flush();
+                writer.close(); // Which leaves `frames` open.
+                frames.finish(); }
+            catch( final ParseError x ) { replyFailure( out, x.toString() ); }
+            catch( final XMLStreamException x ) { // Typically with a `ParseError` for its cause.
+                final Throwable cause = x.getCause() == null ? x : x.getCause();
+                if( cause instanceof IOException ) throw (IOException)cause; // Then the reply cannot
+                replyFailure( out, cause.toString() ); }                     // be continued at all.
+            catch( final InterruptedException x ) { // The daemon is closing forcefully.
+                Thread.currentThread().interrupt();
+                replyFailure( out, "Translation daemon closing" ); }
+            catch( final RuntimeException x ) { // From the parser, for instance.
+                logger.log( WARNING, "Failed to translate a request", x );
+                replyFailure( out, x.toString() ); }}
+        catch( final IOException x ) {} } // The client will see a truncated reply, or none.
+
+
+
+    private final ExecutorService servers;
+
+
+
+    private final Path socketFile;
+
+
+
+    private final CursorSourcing<? super C> sourcing;
+
+
+
+    /** Writes the translation of `translator` to `writer`.
+      */
+    static void write( final BrecciaXCursor translator, final XMLStreamWriter writer )
+          throws XMLStreamException {
+        for( int e = translator.getEventType();; e = translator.next() ) {
+            switch( e ) {
+                case START_DOCUMENT -> writer.writeStartDocument( "UTF-8", "1.0" );
+                case START_ELEMENT -> {
+                    writer.writeStartElement( translator.getLocalName() );
+                    if( translator.getNamespaceCount() > 0 ) {
+                        writer.writeDefaultNamespace( translator.getNamespaceURI( 0 )); }
+                    for( int a = 0, aN = translator.getAttributeCount(); a < aN; ++a ) {
+                        writer.writeAttribute( translator.getAttributeLocalName( a ),
+                          translator.getAttributeValue( a )); }}
+                case CHARACTERS -> writer.writeCharacters( translator.getTextCharacters(),
+                  translator.getTextStart(), translator.getTextLength() );
+                case END_ELEMENT -> writer.writeEndElement();
+                case END_DOCUMENT -> writer.writeEndDocument();
+                default -> { assert e == XStreamConstants.EMPTY; }} // Then nothing to write.
+            if( !translator.hasNext() ) break; }}
+
+
+
+   // ▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀
+
+
+    /** A maker and sourcer of parser cursors of a class known only by name, for the use of launchers.
+      * The class must have a public, no-argument constructor and a public method `source(Reader)`.
+      */
+    static final class ReflectedCursor implements Supplier<Cursor>, CursorSourcing<Cursor> {
+
+
+        ReflectedCursor( final String className ) throws ReflectiveOperationException {
+            final Class<?> c = Class.forName( className );
+            if( !Cursor.class.isAssignableFrom( c )) {
+                throw new ClassCastException( className + " is not a parser cursor" ); }
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            constructor = lookup.unreflectConstructor( c.getConstructor() );
+            source = lookup.unreflect( c.getMethod( "source", Reader.class )); }
+
+
+
+       // ━━━  C u r s o r   S o u r c i n g  ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+
+        public @Override void source( final Cursor cursor, final Reader text ) throws ParseError {
+            try { source.invoke( cursor, text ); }
+            catch( final ParseError|RuntimeException|Error x ) { throw x; }
+            catch( final Throwable x ) { throw new IllegalStateException( x ); }}
+
+
+
+       // ━━━  S u p p l i e r  ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+
+        public @Override Cursor get() {
+            try { return (Cursor)constructor.invoke(); }
+            catch( final RuntimeException|Error x ) { throw x; }
+            catch( final Throwable x ) { throw new IllegalStateException( x ); }}
+
+
+
+    ////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////
+
+
+        private final MethodHandle constructor;
+
+
+
+        private final MethodHandle source; }
+
+
+
+   // ▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀
+
+
+    /** An output stream that writes its content as reply frames.
+      */
+    private static final class FrameOutputStream extends OutputStream {
+
+
+        FrameOutputStream( DataOutputStream out ) { this.out = out; }
+
+
+
+        /** Writes any content remaining as a final frame, then a frame of length zero to end the reply.
+          */
+        void finish() throws IOException {
+            writeFrame();
+            out.writeInt( 0 );
+            out.flush(); }
+
+
+
+       // ━━━  O u t p u t   S t r e a m  ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+
+        public @Override void write( final int b ) throws IOException {
+            if( length == frame.length ) writeFrame();
+            frame[length++] = (byte)b; }
+
+
+
+        public @Override void write( final byte[] b, int offset, int n ) throws IOException {
+            while( n > 0 ) {
+                if( length == frame.length ) writeFrame();
+                final int m = Math.min( n, frame.length - length );
+                System.arraycopy( b, offset, frame, length, m );
+                length += m;
+                offset += m;
+                n -= m; }}
+
+
+
+    ////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////
+
+
+        private final byte[] frame = new byte[frameSize];
+
+
+
+        private int length; // Of the content in `frame`.
+
+
+
+        private final DataOutputStream out;
+
+
+
+        private void writeFrame() throws IOException {
+            if( length == 0 ) return;
+            out.writeInt( length );
+            out.write( frame, 0, length );
+            length = 0; }}
+
+
+
+   // ▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀
+
+
+    /** An output stream to a channel in non-blocking mode, which fails should the client leave
+      * the reply unread for longer than `replyStallLimit`.
+      */
+    private static final class ReplyOutputStream extends OutputStream {
+
+
+        ReplyOutputStream( SocketChannel channel, Selector selector ) {
+            this.channel = channel;
+            this.selector = selector; }
+
+
+
+       // ━━━  O u t p u t   S t r e a m  ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+
+        public @Override void write( final int b ) throws IOException {
+            write( new byte[] { (byte)b }, 0, 1 ); }
+
+
+
+        /** @throws SocketTimeoutException If the client leaves the reply unread for too long.
+          */
+        public @Override void write( final byte[] b, final int offset, final int n ) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.wrap( b, offset, n );
+            boolean isStalled = false;
+            long deadline = 0; // Of the present stall, if any.
+            while( buffer.hasRemaining() ) {
+                if( channel.write( buffer ) > 0 ) {
+                    isStalled = false;
+                    continue; }
+                final long now = System.nanoTime();
+                if( !isStalled ) {
+                    isStalled = true;
+                    deadline = now + replyStallLimit; }
+                else if( deadline - now <= 0 ) {
+                    throw new SocketTimeoutException( "Reply not read in time" ); }
+                await( channel, selector, SelectionKey.OP_WRITE, deadline - now ); }}
+
+
+
+    ////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////
+
+
+        private final SocketChannel channel;
+
+
+
+        private final Selector selector; }}
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
@@ -0,0 +1,143 @@
+package Breccia.XML.translator;
+
+import Breccia.parser.Cursor;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+
+/** A benchmark of end-to-end latency in translating a small file, comparing a cold JVM for each
+  * translation with a warm {@linkplain TranslationDaemon translation daemon}.  Three ways are timed:
+  *
+  * <ol><li>`cold JVM`, each translation in a fresh JVM, as by a build that invokes the translator
+  *         once per file.</li>
+  *     <li>`daemon, cold client`, each translation in a fresh JVM running `TranslationClient`
+  *         against a daemon already warm.</li>
+  *     <li>`daemon, warm client`, each translation by a single, in-process client against
+  *         the same daemon, so timing the daemon alone.</li></ol>
+  *
+  * <p>Usage: `java Breccia.XML.translator.TranslationDaemonBenchmark <file> [<repetitions>]
+  * [<cursor class>]`, where the repetitions are 20 by default, and the cursor class
+  * is that of `{@linkplain TranslationDaemon#main(String[]) TranslationDaemon.main}`.</p>
+  */
+public final class TranslationDaemonBenchmark {
+
+
+    private TranslationDaemonBenchmark() {}
+
+
+
+    public static void main( final String[] arguments ) throws Exception {
+        if( arguments.length > 0 && arguments[0].equals( onceOption )) { // Then this is a cold JVM.
+            translateOnce( Path.of( arguments[1] ), arguments[2] );
+            return; }
+        if( arguments.length < 1 || arguments.length > 3 ) {
+            System.err.println( "Usage: java " + TranslationDaemonBenchmark.class.getName()
+              + " <file> [<repetitions>] [<cursor class>]" );
+            System.exit( 1 ); }
+        final Path file = Path.of( arguments[0] );
+        final int repetitions = arguments.length > 1 ? Integer.parseInt( arguments[1] ) : 20;
+        final String cursorClass = arguments.length > 2 ? arguments[2]
+          : TranslationDaemon.defaultCursorClass;
+        final String java = ProcessHandle.current().info().command().orElse( "java" );
+        final String classPath = System.getProperty( "java.class.path" );
+
+      // cold JVM
+      // ┈┈┈┈┈┈┈┈
+        report( "cold JVM", time( repetitions, () -> run( new ProcessBuilder( java, "-cp", classPath,
+          TranslationDaemonBenchmark.class.getName(), onceOption, file.toString(), cursorClass ))));
+
+      // daemon
+      // ┈┈┈┈┈┈
+        final Path socketFile = Files.createTempDirectory( "TranslationDaemonBenchmark" )
+          .resolve( "socket" );
+        final TranslationDaemon.ReflectedCursor cursors =
+          new TranslationDaemon.ReflectedCursor( cursorClass );
+        try( final TranslationDaemon<Cursor> daemon = new TranslationDaemon<>( socketFile,
+              new TranslatorPool<>( 1, cursors ), cursors, /*backlog*/1 )) {
+            daemon.start();
+            final TranslationClient client = new TranslationClient( socketFile );
+            final byte[] text = Files.readAllBytes( file );
+            final Timed warmTranslation = () -> client.translate( new ByteArrayInputStream( text ),
+              OutputStream.nullOutputStream() );
+            time( repetitions, warmTranslation ); // Warming the daemon.
+            report( "daemon, cold client", time( repetitions, () -> run( new ProcessBuilder( java,
+              "-cp", classPath, TranslationClient.class.getName(), socketFile.toString() )
+              .redirectInput( file.toFile() ))));
+            report( "daemon, warm client", time( repetitions, warmTranslation )); }
+        Files.delete( socketFile.getParent() ); }
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    /** The option by which this benchmark invokes itself in a cold JVM, to translate a file once.
+      */
+    private static final String onceOption = "--once";
+
+
+
+    private static void report( final String label, final long[] nanos ) {
+        Arrays.sort( nanos );
+        final double mean = Arrays.stream(nanos).average().orElse( 0 );
+        System.out.printf( "%-20s  median %9.3f ms   mean %9.3f ms   min %9.3f ms   (n = %d)%n", label,
+          nanos[nanos.length/2] / 1e6, mean / 1e6, nanos[0] / 1e6, nanos.length ); }
+
+
+
+    /** Runs a process to completion, discarding its output.
+      *
+      *     @throws IOException If the process fails.
+      */
+    private static void run( final ProcessBuilder builder ) throws IOException, InterruptedException {
+        builder.redirectOutput( ProcessBuilder.Redirect.DISCARD );
+        builder.redirectError( ProcessBuilder.Redirect.INHERIT );
+        final int exitValue = builder.start().waitFor();
+        if( exitValue != 0 ) {
+            throw new IOException( "Exit value " + exitValue + " from " + builder.command() ); }}
+
+
+
+    /** @return The time in nanoseconds of each repetition of `timed`.
+      */
+    private static long[] time( final int repetitions, final Timed timed ) throws Exception {
+        final long[] nanos = new long[repetitions];
+        for( int r = 0; r < repetitions; ++r ) {
+            final long start = System.nanoTime();
+            timed.run();
+            nanos[r] = System.nanoTime() - start; }
+        return nanos; }
+
+
+
+    /** Translates the given file, discarding the result.
+      */
+    private static void translateOnce( final Path file, final String cursorClass ) throws Exception {
+        final TranslationDaemon.ReflectedCursor cursors =
+          new TranslationDaemon.ReflectedCursor( cursorClass );
+        final Cursor cursor = cursors.get();
+        try( final Reader text = Files.newBufferedReader( file, UTF_8 )) {
+            cursors.source( cursor, text );
+            final BrecciaXCursor translator = new BrecciaXCursor();
+            translator.source( cursor );
+            final XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(
+              OutputStream.nullOutputStream(), "UTF-8" );
+            TranslationDaemon.write( translator, writer );
+            writer.close(); }}
+
+
+
+   // ▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀
+
+
+    private static @FunctionalInterface interface Timed { void run() throws Exception; }}
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
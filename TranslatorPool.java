@@ -0,0 +1,195 @@
+package Breccia.XML.translator;
+
+import Breccia.parser.Cursor;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+
+/** A bounded pool of translators, each paired with a parser cursor to serve as its source.
+  * Whereas a single translator may not be shared among threads, a pool may.  Each thread leases a pair
+  * for the duration of a translation, then returns it by closing the lease.  When all pairs are leased,
+  * a thread that requests another waits till one is returned.
+  *
+  * <p>Waiting is done on a `java.util.concurrent` semaphore, never on an object monitor, so that
+  * a waiting virtual thread does not pin its carrier thread.</p>
+  *
+  * <p>On return of a pair, its translator is released from the translated source.  Any stack
+  * that an unusually deep document has left oversized is at that time trimmed back to its initial
+  * capacity, so that no pooled translator permanently holds the memory of its deepest document.</p>
+  *
+  *     @param <C> The type of parser cursor.
+  */
+public final class TranslatorPool<C extends Cursor> {
+
+
+    /** Constructs a pool of translators that give each element the whole of its attributes.
+      *
+      *     @param capacity The maximum number of pairs, each constructed only when first needed.
+      *     @param cursorMaker A maker of parser cursors, one for each pair.
+      *     @throws IllegalArgumentException If `capacity` is less than one.
+      */
+    public TranslatorPool( final int capacity, final Supplier<? extends C> cursorMaker ) {
+        this( capacity, BrecciaXCursor.fullProfile, cursorMaker ); }
+
+
+
+    /** Constructs a pool of translators that give each element only those of its attributes
+      * which are named in the given profile.
+      *
+      *     @param capacity The maximum number of pairs, each constructed only when first needed.
+      *     @param profile The profile of attributes for each translator.
+      *     @param cursorMaker A maker of parser cursors, one for each pair.
+      *     @throws IllegalArgumentException If `capacity` is less than one.
+      *     @see BrecciaXCursor#BrecciaXCursor(Set)
+      */
+    public TranslatorPool( final int capacity, final Set<XAttribute> profile,
+          final Supplier<? extends C> cursorMaker ) {
+        this( capacity, profile, null, cursorMaker ); }
+
+
+
+    /** Constructs a pool of translators that give each element only those of its attributes
+      * which are named in the given profile, and that share a single interner.
+      *
+      *     @param capacity The maximum number of pairs, each constructed only when first needed.
+      *     @param profile The profile of attributes for each translator.
+      *     @param interner The interner of tag names, modifiers and qualifiers, or null to intern
+      *       nothing.
+      *     @param cursorMaker A maker of parser cursors, one for each pair.
+      *     @throws IllegalArgumentException If `capacity` is less than one.
+      *     @see BrecciaXCursor#BrecciaXCursor(Set, StringInterner)
+      */
+    public TranslatorPool( final int capacity, final Set<XAttribute> profile,
+          final StringInterner interner, final Supplier<? extends C> cursorMaker ) {
+        if( capacity < 1 ) throw new IllegalArgumentException( "Capacity less than one" );
+        this.capacity = capacity;
+        this.profile = profile;
+        this.interner = interner;
+        this.cursorMaker = cursorMaker;
+        permits = new Semaphore( capacity, /*fair*/true ); }
+
+
+
+    /** The maximum number of pairs in this pool, and so of leases outstanding at any time.
+      */
+    public final int capacity;
+
+
+
+    /** Leases a translator and parser cursor, waiting if necessary till one is available.
+      * The lease must be {@linkplain Lease#close() closed} when done.
+      */
+    public Lease lease() throws InterruptedException {
+        permits.acquire();
+        Pair<C> pair = idle.pollFirst(); // The most recently returned, being the likeliest warm.
+        if( pair == null ) {
+            try { pair = new Pair<>( new BrecciaXCursor( profile, interner ), cursorMaker.get() ); }
+            catch( final RuntimeException|Error x ) {
+                permits.release();
+                throw x; }}
+        return new Lease( pair ); }
+
+
+
+   // ▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀
+
+
+    /** A lease on a translator and parser cursor.  Each lease is for the sole use of the leasing thread,
+      * and it ends when closed.  Neither its translator nor its cursor may be used thereafter.
+      */
+    public final class Lease implements AutoCloseable {
+
+
+        private Lease( final Pair<C> pair ) {
+            this.pair = pair;
+            cursor = pair.cursor;
+            translator = pair.translator; }
+
+
+
+        /** The leased parser cursor, for use as the source of the leased translator.
+          */
+        public final C cursor;
+
+
+
+        /** The leased translator.
+          */
+        public final BrecciaXCursor translator;
+
+
+
+       // ━━━  A u t o   C l o s e a b l e  ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+
+
+        /** Ends this lease, returning the translator and cursor to the pool.  Closing a lease that
+          * is already closed has no effect.
+          */
+        public @Override void close() {
+            if( isClosed ) return;
+            isClosed = true;
+            pair.translator.release();
+            idle.offerFirst( pair );
+            permits.release(); }
+
+
+
+    ////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////
+
+
+        private boolean isClosed;
+
+
+
+        private final Pair<C> pair; }
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    private final Supplier<? extends C> cursorMaker;
+
+
+
+    /** The pairs not presently leased.  Used as a stack, so favouring the reuse of warm pairs.
+      */
+    private final ConcurrentLinkedDeque<Pair<C>> idle = new ConcurrentLinkedDeque<>();
+
+
+
+    private final StringInterner interner;
+
+
+
+    private final Semaphore permits;
+
+
+
+    private final Set<XAttribute> profile;
+
+
+
+   // ▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀▀
+
+
+    private static final class Pair<C extends Cursor> {
+
+
+        Pair( BrecciaXCursor translator, C cursor ) {
+            this.translator = translator;
+            this.cursor = cursor; }
+
+
+
+        final C cursor;
+
+
+
+        final BrecciaXCursor translator; }}
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
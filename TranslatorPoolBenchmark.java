@@ -0,0 +1,145 @@
+package Breccia.XML.translator;
+
+import Breccia.parser.Cursor;
+import java.io.StringReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+
+/** A benchmark of contention for a {@linkplain TranslatorPool translator pool}.  At each of 1, 2, 4 …
+  * 64 threads, each thread repeatedly leases a translator, translates a small text, and closes
+  * the lease.  Each count of threads is timed on platform threads, then on virtual threads
+  * where the JVM has them.  For each run are reported the throughput and the median
+  * and 99th percentile time of a lease-to-close cycle, which includes any wait for a lease.
+  *
+  * <p>Usage: `java Breccia.XML.translator.TranslatorPoolBenchmark [<pool capacity>] [<cycles>]
+  * [<cursor class>]`, where the capacity is by default the number of available processors,
+  * the cycles of each run are 100,000 by default, and the cursor class is that of
+  * `{@linkplain TranslationDaemon#main(String[]) TranslationDaemon.main}`.</p>
+  */
+public final class TranslatorPoolBenchmark {
+
+
+    private TranslatorPoolBenchmark() {}
+
+
+
+    public static void main( final String[] arguments ) throws Exception {
+        if( arguments.length > 3 ) {
+            System.err.println( "Usage: java " + TranslatorPoolBenchmark.class.getName()
+              + " [<pool capacity>] [<cycles>] [<cursor class>]" );
+            System.exit( 1 ); }
+        final int capacity = arguments.length > 0 ? Integer.parseInt( arguments[0] )
+          : Runtime.getRuntime().availableProcessors();
+        final int cycles = arguments.length > 1 ? Integer.parseInt( arguments[1] ) : 100_000;
+        final String cursorClass = arguments.length > 2 ? arguments[2]
+          : TranslationDaemon.defaultCursorClass;
+        final TranslationDaemon.ReflectedCursor cursors =
+          new TranslationDaemon.ReflectedCursor( cursorClass );
+        final TranslatorPool<Cursor> pool = new TranslatorPool<>( capacity, cursors );
+        final MethodHandle virtualExecutor = virtualExecutor();
+        System.out.println( "Pool capacity " + capacity + ", " + cycles + " cycles per run" );
+        run( pool, cursors, capacity, cycles, Executors::newFixedThreadPool ); // Warming the pool.
+        for( int threads = 1; threads <= 64; threads *= 2 ) {
+            report( "platform", threads, cycles, run( pool, cursors, threads, cycles,
+              Executors::newFixedThreadPool ));
+            if( virtualExecutor != null ) {
+                report( "virtual", threads, cycles, run( pool, cursors, threads, cycles,
+                  t -> newVirtualExecutor( virtualExecutor ))); }}
+        if( virtualExecutor == null ) System.out.println( "(No virtual threads in this JVM)" ); }
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    /** Leases a translator, translates the small text, and closes the lease.
+      */
+    private static void cycle( final TranslatorPool<Cursor> pool,
+          final CursorSourcing<Cursor> sourcing ) throws Exception {
+        try( final TranslatorPool<Cursor>.Lease lease = pool.lease() ) {
+            sourcing.source( lease.cursor, new StringReader( text ));
+            final BrecciaXCursor translator = lease.translator;
+            translator.source( lease.cursor );
+            while( translator.hasNext() ) translator.next(); }}
+
+
+
+    private static ExecutorService newVirtualExecutor( final MethodHandle maker ) {
+        try { return (ExecutorService)maker.invoke(); }
+        catch( final RuntimeException|Error x ) { throw x; }
+        catch( final Throwable x ) { throw new IllegalStateException( x ); }}
+
+
+
+    /** @param elapsed The elapsed time of the run in nanoseconds, followed by the time
+      *   of each cycle in nanoseconds.
+      */
+    private static void report( final String kind, final int threads, final int cycles,
+          final long[] elapsed ) {
+        final long[] nanos = Arrays.copyOfRange( elapsed, 1, elapsed.length );
+        Arrays.sort( nanos );
+        System.out.printf( "%-8s  %2d threads  %,12.0f cycles/s   median %8.3f us   p99 %9.3f us%n",
+          kind, threads, cycles / (elapsed[0] / 1e9), nanos[nanos.length/2] / 1e3,
+          nanos[(int)(nanos.length * 0.99)] / 1e3 ); }
+
+
+
+    /** Runs `cycles` cycles, divided among the given number of threads.
+      *
+      *     @return The elapsed time of the run in nanoseconds, followed by the time
+      *       of each cycle in nanoseconds.
+      */
+    private static long[] run( final TranslatorPool<Cursor> pool, final CursorSourcing<Cursor> sourcing,
+          final int threads, final int cycles, final IntFunction<ExecutorService> executorMaker )
+          throws Exception {
+        final long[] nanos = new long[1 + cycles];
+        final CountDownLatch startGate = new CountDownLatch( 1 );
+        final ExecutorService executor = executorMaker.apply( threads );
+        try {
+            final Future<?>[] futures = new Future<?>[threads];
+            for( int t = 0; t < threads; ++t ) {
+                final int first = 1 + (int)((long)cycles * t / threads); // Index in `nanos`.
+                final int last = (int)((long)cycles * (t + 1) / threads);
+                futures[t] = executor.submit( () -> {
+                    startGate.await();
+                    for( int c = first; c <= last; ++c ) {
+                        final long start = System.nanoTime();
+                        cycle( pool, sourcing );
+                        nanos[c] = System.nanoTime() - start; }
+                    return null; }); }
+            final long start = System.nanoTime();
+            startGate.countDown();
+            for( final Future<?> f: futures ) f.get();
+            nanos[0] = System.nanoTime() - start; }
+        finally { executor.shutdown(); }
+        return nanos; }
+
+
+
+    /** The small text translated in each cycle.
+      */
+    private static final String text = "- A point\n    - A subordinate point\n- Another point\n";
+
+
+
+    /** @return A maker of an executor that starts a virtual thread for each task, or null if this JVM
+      *   has no virtual threads.
+      */
+    private static MethodHandle virtualExecutor() {
+        final MethodHandle maker;
+        try {
+            maker = MethodHandles.publicLookup().findStatic( Executors.class,
+              "newVirtualThreadPerTaskExecutor", MethodType.methodType( ExecutorService.class )); }
+        catch( final ReflectiveOperationException x ) { return null; } // Before JDK 19.
+        try { newVirtualExecutor( maker ).shutdown(); }
+        catch( final UnsupportedOperationException x ) { return null; } // A preview not enabled.
+        return maker; }}
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
@@ -0,0 +1,62 @@
+package Breccia.XML.translator;
+
+
+/** The name of an attribute that the translator may give to an element.  Each constant is named
+  * exactly as the attribute it names.
+  *
+  *     @see BrecciaXCursor#BrecciaXCursor(java.util.Set)
+  */
+public enum XAttribute {
+
+
+    /** The line number of a fractum.  The parser considers this to be adjunct state,
+      * requests for which may be slow.
+      *
+      *     @see Breccia.parser.Granum#lineNumber()
+      */
+    lineNumber,
+
+
+
+    /** The modifiers of a command point.
+      *
+      *     @see Breccia.parser.CommandPoint#modifiers()
+      */
+    modifiers,
+
+
+
+    /** The qualifiers of a file locant.
+      *
+      *     @see Breccia.parser.FileLocant#qualifiers()
+      */
+    qualifiers,
+
+
+
+    /** The typestamp of a fractum.
+      *
+      *     @see Breccia.parser.ParseState#typestamp()
+      */
+    typestamp,
+
+
+
+    /** The offset of a granum in UTF-16 code units from the start of the text.
+      *
+      *     @see Breccia.parser.Granum#xunc()
+      */
+    xunc,
+
+
+
+    /** The ends of each line of a fractal head.  Each request for this attribute loops
+      * through all lines of the head.
+      *
+      *     @see Breccia.parser.Granum#xuncLineEnd()
+      */
+    xuncLineEnds }
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.
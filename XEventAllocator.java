@@ -0,0 +1,138 @@
+package Breccia.XML.translator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.util.XMLEventAllocator;
+import javax.xml.stream.util.XMLEventConsumer;
+
+import static javax.xml.stream.XMLStreamConstants.*;
+
+
+/** An allocator of events from the translator, by which an event reader may be layered over it.
+  * The JDK’s own allocator serves only the JDK’s own stream readers, failing on any other that is
+  * namespace aware.  This one depends on nothing but the public API of the stream reader.
+  * Each event it allocates is a snapshot, unaffected by further advances of the reader.
+  *
+  *     @see BrecciaXCursor#getProperty(String)
+  *     @see javax.xml.stream.XMLInputFactory#createXMLEventReader(XMLStreamReader)
+  */
+final class XEventAllocator implements XMLEventAllocator {
+
+
+    public @Override XMLEvent allocate( final XMLStreamReader r ) throws XMLStreamException {
+        factory.setLocation( snapshot( r.getLocation() ));
+        return switch( r.getEventType() ) {
+            case START_DOCUMENT -> factory.createStartDocument();
+            case START_ELEMENT -> {
+                final List<Attribute> attributes = new ArrayList<>( r.getAttributeCount() );
+                for( int a = 0, aN = r.getAttributeCount(); a < aN; ++a ) {
+                    attributes.add( factory.createAttribute( r.getAttributeName(a),
+                      r.getAttributeValue(a) )); }
+                yield factory.createStartElement( r.getPrefix(), r.getNamespaceURI(), r.getLocalName(),
+                  attributes.iterator(), namespaces(r).iterator(),
+                  snapshot( r.getNamespaceContext() )); }
+            case END_ELEMENT -> factory.createEndElement( r.getPrefix(), r.getNamespaceURI(),
+              r.getLocalName(), namespaces(r).iterator() );
+            case CHARACTERS -> factory.createCharacters( r.getText() );
+            case CDATA -> factory.createCData( r.getText() );
+            case SPACE -> factory.createSpace( r.getText() );
+            case COMMENT -> factory.createComment( r.getText() );
+            case PROCESSING_INSTRUCTION -> factory.createProcessingInstruction( r.getPITarget(),
+              r.getPIData() );
+            case END_DOCUMENT -> factory.createEndDocument();
+            default -> throw new XMLStreamException( "No event for type " + r.getEventType(),
+              r.getLocation() ); }; }
+
+
+
+    public @Override void allocate( final XMLStreamReader r, final XMLEventConsumer consumer )
+          throws XMLStreamException {
+        consumer.add( allocate( r )); }
+
+
+
+    public @Override XMLEventAllocator newInstance() { return new XEventAllocator(); }
+
+
+
+////  P r i v a t e  ////////////////////////////////////////////////////////////////////////////////////
+
+
+    /** The factory of events, not thread safe, hence one for each allocator.
+      */
+    private final XMLEventFactory factory = XMLEventFactory.newFactory();
+
+
+
+    /** @return The namespace declarations of the present start or end tag.
+      */
+    private List<Namespace> namespaces( final XMLStreamReader r ) {
+        final int nN = r.getNamespaceCount();
+        if( nN == 0 ) return Collections.emptyList();
+        final List<Namespace> namespaces = new ArrayList<>( nN );
+        for( int n = 0; n < nN; ++n ) {
+            final String prefix = r.getNamespacePrefix( n );
+            namespaces.add( prefix == null ? factory.createNamespace( r.getNamespaceURI(n) )
+              : factory.createNamespace( prefix, r.getNamespaceURI(n) )); }
+        return namespaces; }
+
+
+
+    /** @return A fixed copy of the given location.
+      */
+    private static Location snapshot( final Location l ) {
+        final int offset = l.getCharacterOffset();
+        final int column = l.getColumnNumber();
+        final int line = l.getLineNumber();
+        final String publicId = l.getPublicId();
+        final String systemId = l.getSystemId();
+        return new Location() {
+            public @Override int getCharacterOffset() { return offset; }
+            public @Override int getColumnNumber()    { return column; }
+            public @Override int getLineNumber()      { return line; }
+            public @Override String getPublicId()     { return publicId; }
+            public @Override String getSystemId()     { return systemId; }}; }
+
+
+
+    /** @return A fixed copy of the given namespace context, as it binds the default prefix.
+      *   The translator binds no other prefix.
+      */
+    private static NamespaceContext snapshot( final NamespaceContext c ) {
+        final String defaultURI = c.getNamespaceURI( XMLConstants.DEFAULT_NS_PREFIX );
+        return new NamespaceContext() {
+            public @Override String getNamespaceURI( final String prefix ) {
+                if( prefix == null ) {
+                    throw new IllegalArgumentException( "Null prefix" ); } // As per contract.
+                return switch( prefix ) {
+                    case XMLConstants.DEFAULT_NS_PREFIX -> defaultURI;
+                    case XMLConstants.XML_NS_PREFIX -> XMLConstants.XML_NS_URI;
+                    case XMLConstants.XMLNS_ATTRIBUTE -> XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+                    default -> XMLConstants.NULL_NS_URI; }; }
+            public @Override String getPrefix( final String uri ) {
+                if( uri == null ) {
+                    throw new IllegalArgumentException( "Null namespace" ); } // As per contract.
+                return switch( uri ) {
+                    case XMLConstants.XML_NS_URI -> XMLConstants.XML_NS_PREFIX;
+                    case XMLConstants.XMLNS_ATTRIBUTE_NS_URI -> XMLConstants.XMLNS_ATTRIBUTE;
+                    default -> !uri.isEmpty() && uri.equals( defaultURI )
+                      ? XMLConstants.DEFAULT_NS_PREFIX : null; }; }
+            public @Override Iterator<String> getPrefixes( final String uri ) {
+                final String prefix = getPrefix( uri );
+                return prefix == null ? Collections.emptyIterator()
+                  : Collections.singleton(prefix).iterator(); }}; }}
+
+
+
+                                                        // Copyright © 2026  Michael Allan.  Licence MIT.